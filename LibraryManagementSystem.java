@@ -1,6 +1,26 @@
 import java.util.*;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
 
 // Enums for statuses and notification types
 enum BookStatus {
@@ -20,6 +40,7 @@ class Author {
     private String name;
     private String bio;
     private List<Book> books;
+    private ImageBookRecords imageBooks; // books from a catalog image, can be null
 
     public Author(String name, String bio) {
         this.name = name;
@@ -31,9 +52,28 @@ class Author {
         return name;
     }
 
+    public String getBio() {
+        return bio;
+    }
+
+    public List<Book> getBooks() {
+        // Always a copy, so callers never see later additions or hit a concurrent modification
+        List<Book> all = imageBooks == null ? new ArrayList<>() : imageBooks.resolve();
+        all.addAll(books);
+        return Collections.unmodifiableList(all);
+    }
+
+    public void attachImageBooks(ImageBookRecords imageBooks) {
+        this.imageBooks = imageBooks;
+    }
+
     public void addBook(Book book) {
         books.add(book);
     }
+
+    public void removeBook(Book book) {
+        books.remove(book);
+    }
 }
 
 // Publisher class
@@ -41,6 +81,7 @@ class Publisher {
     private String name;
     private String address;
     private List<Book> booksPublished;
+    private ImageBookRecords imageBooks; // books from a catalog image, can be null
 
     public Publisher(String name, String address) {
         this.name = name;
@@ -48,9 +89,32 @@ class Publisher {
         this.booksPublished = new ArrayList<>();
     }
 
+    public String getName() {
+        return name;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public List<Book> getBooksPublished() {
+        // Always a copy, so callers never see later additions or hit a concurrent modification
+        List<Book> all = imageBooks == null ? new ArrayList<>() : imageBooks.resolve();
+        all.addAll(booksPublished);
+        return Collections.unmodifiableList(all);
+    }
+
+    public void attachImageBooks(ImageBookRecords imageBooks) {
+        this.imageBooks = imageBooks;
+    }
+
     public void addBook(Book book) {
         booksPublished.add(book);
     }
+
+    public void removeBook(Book book) {
+        booksPublished.remove(book);
+    }
 }
 
 // Book class
@@ -60,7 +124,9 @@ class Book {
     private String isbn;
     List<Author> authors;
     private Publisher publisher;
-    private BookStatus status;
+    // Newest status first; older versions are kept only while an open snapshot may read them
+    private volatile StatusVersion status;
+    private volatile long removedVersion = Long.MAX_VALUE;
 
     public Book(String bookId, String title, String isbn, List<Author> authors, Publisher publisher) {
         this.bookId = bookId;
@@ -68,7 +134,7 @@ class Book {
         this.isbn = isbn;
         this.authors = authors;
         this.publisher = publisher;
-        this.status = BookStatus.AVAILABLE;
+        this.status = new StatusVersion(BookStatus.AVAILABLE, 0, null);
     }
 
     public String getBookId() {
@@ -83,17 +149,78 @@ class Book {
         return isbn;
     }
 
+    public List<Author> getAuthors() {
+        return authors;
+    }
+
+    public Publisher getPublisher() {
+        return publisher;
+    }
+
+    // Swaps in the registry's shared Author/Publisher instances and links this book back to them
+    public void linkContributors(ContributorRegistry registry) {
+        List<Author> interned = new ArrayList<>(authors.size());
+        for (Author a : authors) {
+            Author author = registry.internAuthor(a);
+            author.addBook(this);
+            interned.add(author);
+        }
+        authors = interned;
+        if(publisher != null) {
+            publisher = registry.internPublisher(publisher);
+            publisher.addBook(this);
+        }
+    }
+
+    public void unlinkContributors() {
+        for (Author a : authors) {
+            a.removeBook(this);
+        }
+        if(publisher != null) {
+            publisher.removeBook(this);
+        }
+    }
+
     public BookStatus getStatus() {
-        return status;
+        return status.status;
+    }
+
+    // Status as seen by a snapshot taken at the given version
+    public BookStatus getStatusAt(long version) {
+        StatusVersion v = status;
+        while(v.version > version && v.previous != null) {
+            v = v.previous;
+        }
+        return v.status;
+    }
+
+    private void setStatus(BookStatus newStatus) {
+        long version = Versions.next();
+        StatusVersion head = new StatusVersion(newStatus, version, status);
+        head.prune(Versions.oldestNeeded());
+        status = head;
+        Versions.commit(version);
+    }
+
+    public boolean isRemovedAt(long version) {
+        return removedVersion <= version;
+    }
+
+    public boolean isRemoved() {
+        return removedVersion != Long.MAX_VALUE;
+    }
+
+    void markRemoved(long version) {
+        removedVersion = version;
     }
 
     public boolean isAvailable() {
-        return status == BookStatus.AVAILABLE;
+        return getStatus() == BookStatus.AVAILABLE;
     }
 
     public void reserveBook(Member member) {
         if(isAvailable()) {
-            status = BookStatus.RESERVED;
+            setStatus(BookStatus.RESERVED);
             System.out.println("Book " + title + " reserved by " + member.getName());
         } else {
             System.out.println("Book is not available for reservation.");
@@ -101,8 +228,8 @@ class Book {
     }
 
     public void issueBook(Member member) {
-        if(isAvailable() || status == BookStatus.RESERVED) {
-            status = BookStatus.ISSUED;
+        if(isAvailable() || getStatus() == BookStatus.RESERVED) {
+            setStatus(BookStatus.ISSUED);
             System.out.println("Book " + title + " issued to " + member.getName());
         } else {
             System.out.println("Book is not available for issuing.");
@@ -110,12 +237,35 @@ class Book {
     }
 
     public void makeAvailable() {
-        status = BookStatus.AVAILABLE;
+        setStatus(BookStatus.AVAILABLE);
     }
 
     @Override
     public String toString() {
-        return "BookID: " + bookId + ", Title: " + title + ", ISBN: " + isbn + ", Status: " + status;
+        return "BookID: " + bookId + ", Title: " + title + ", ISBN: " + isbn + ", Status: " + getStatus();
+    }
+}
+
+// One entry in a book's status version chain
+class StatusVersion {
+    final BookStatus status;
+    final long version;
+    volatile StatusVersion previous;
+
+    StatusVersion(BookStatus status, long version, StatusVersion previous) {
+        this.status = status;
+        this.version = version;
+        this.previous = previous;
+    }
+
+    // Drops versions older than the newest one visible at oldestNeeded. Runs only when
+    // the book's status changes, so a closed snapshot's versions linger until then.
+    void prune(long oldestNeeded) {
+        StatusVersion v = this;
+        while(v.version > oldestNeeded && v.previous != null) {
+            v = v.previous;
+        }
+        v.previous = null;
     }
 }
 
@@ -141,6 +291,14 @@ abstract class User {
         return name;
     }
 
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
     public void login() {
         System.out.println(name + " logged in.");
     }
@@ -155,14 +313,19 @@ class Member extends User {
     private String membershipId;
     private List<Loan> loans;
     private List<Reservation> reservations;
-    private double fineAmount;
+    private Library library;
+    private FineLedger fineLedger;
+    private int libraryIndex = -1; // position in the library's member list, -1 until registered
 
     public Member(String userId, String name, String email, String phone, String membershipId) {
         super(userId, name, email, phone);
         this.membershipId = membershipId;
         this.loans = new ArrayList<>();
         this.reservations = new ArrayList<>();
-        this.fineAmount = 0.0;
+    }
+
+    public int getLibraryIndex() {
+        return libraryIndex;
     }
 
     public String getMembershipId() {
@@ -173,8 +336,36 @@ class Member extends User {
         return loans;
     }
 
-    public double getFineAmount() {
-        return fineAmount;
+    // Set by the library on registration so all members share its ledger, clock and reminders
+    public void attachLibrary(Library library, int libraryIndex) {
+        this.library = library;
+        this.libraryIndex = libraryIndex;
+        this.fineLedger = library.getFineLedger();
+    }
+
+    public LocalDate today() {
+        return library == null ? LocalDate.now() : library.today();
+    }
+
+    // Null until the member is registered with a library
+    FineLedger getFineLedger() {
+        return fineLedger;
+    }
+
+    // Fines must land in the library's ledger, or getMembersOwingOver would miss them
+    private FineLedger fineLedger() {
+        if(fineLedger == null) {
+            throw new IllegalStateException("Member " + membershipId + " is not registered with a library.");
+        }
+        return fineLedger;
+    }
+
+    public long getFineCents() {
+        return fineLedger().getBalanceCents(this);
+    }
+
+    public List<Fine> getFines() {
+        return fineLedger().getFines(this);
     }
 
     public void addLoan(Loan loan) {
@@ -182,12 +373,15 @@ class Member extends User {
     }
 
     public void borrowBook(Book book) {
+        // Checked before issuing, or the loan could never be returned
+        fineLedger();
         if(book.isAvailable() || book.getStatus() == BookStatus.RESERVED) {
             book.issueBook(this);
-            LocalDate issueDate = LocalDate.now();
+            LocalDate issueDate = today();
             LocalDate dueDate = issueDate.plusDays(14);
-            Loan loan = new Loan(UUID.randomUUID().toString(), book, this, issueDate, dueDate);
+            Loan loan = new Loan(Loan.nextLoanId(), book, this, issueDate, dueDate);
             addLoan(loan);
+            library.getReminderScheduler().schedule(loan);
             System.out.println("Loan created with due date: " + dueDate);
         } else {
             System.out.println("Book is not available for borrowing.");
@@ -195,14 +389,16 @@ class Member extends User {
     }
 
     public void returnBook(Book book) {
+        FineLedger ledger = fineLedger();
         for (Loan loan : loans) {
-            if (loan.getBook().getBookId().equals(book.getBookId()) && loan.getReturnDate() == null) {
-                loan.setReturnDate(LocalDate.now());
+            if (loan.getBook() == book && loan.getReturnDate() == null) {
+                loan.setReturnDate(today());
+                library.getReminderScheduler().cancel(loan);
                 book.makeAvailable();
-                double fine = loan.calculateFine();
+                long fine = loan.calculateFineCents();
                 if(fine > 0) {
-                    fineAmount += fine;
-                    System.out.println("Book returned late. Fine incurred: $" + fine);
+                    ledger.recordFine(this, fine, loan.getReturnDate());
+                    System.out.println("Book returned late. Fine incurred: $" + FineLedger.format(fine));
                 } else {
                     System.out.println("Book returned on time.");
                 }
@@ -212,10 +408,12 @@ class Member extends User {
         System.out.println("No active loan found for the book.");
     }
 
-    public void payFine(double amount) {
-        if(amount <= fineAmount) {
-            fineAmount -= amount;
-            System.out.println("Paid $" + amount + ". Remaining fine: $" + fineAmount);
+    public void payFine(long amountCents) {
+        if(amountCents <= 0) {
+            System.out.println("Payment must be a positive amount.");
+        } else if(amountCents <= getFineCents()) {
+            fineLedger().recordPayment(this, amountCents, today());
+            System.out.println("Paid $" + FineLedger.format(amountCents) + ". Remaining fine: $" + FineLedger.format(getFineCents()));
         } else {
             System.out.println("Payment exceeds the outstanding fine.");
         }
@@ -248,21 +446,29 @@ class Librarian extends User {
         System.out.println("Managing users...");
     }
 
-    public double calculateFine(Loan loan) {
-        return loan.calculateFine();
+    public long calculateFineCents(Loan loan) {
+        return loan.calculateFineCents();
     }
 }
 
 // Loan class
 class Loan {
-    String loanId;
+    // Sequence-based ids instead of UUID.randomUUID(), which hits SecureRandom on every borrow
+    private static final AtomicLong IDS = new AtomicLong();
+
+    long loanId;
     private Book book;
     private Member member;
     private LocalDate issueDate;
     private LocalDate dueDate;
     private LocalDate returnDate; // can be null
+    LoanTimer reminderTimer; // pending reminder in the ReminderScheduler, can be null
 
-    public Loan(String loanId, Book book, Member member, LocalDate issueDate, LocalDate dueDate) {
+    public static long nextLoanId() {
+        return IDS.incrementAndGet();
+    }
+
+    public Loan(long loanId, Book book, Member member, LocalDate issueDate, LocalDate dueDate) {
         this.loanId = loanId;
         this.book = book;
         this.member = member;
@@ -275,6 +481,14 @@ class Loan {
         return book;
     }
 
+    public Member getMember() {
+        return member;
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
     public LocalDate getReturnDate() {
         return returnDate;
     }
@@ -284,38 +498,204 @@ class Loan {
     }
 
     public boolean isOverdue() {
-        LocalDate currentDate = (returnDate == null) ? LocalDate.now() : returnDate;
+        LocalDate currentDate = (returnDate == null) ? member.today() : returnDate;
         return currentDate.isAfter(dueDate);
     }
 
-    // Fine: $1 per day overdue
-    public double calculateFine() {
+    // Fine: $1 per day overdue, in cents
+    public long calculateFineCents() {
         if(isOverdue()) {
-            LocalDate effectiveReturn = (returnDate == null) ? LocalDate.now() : returnDate;
+            LocalDate effectiveReturn = (returnDate == null) ? member.today() : returnDate;
             long daysOverdue = ChronoUnit.DAYS.between(dueDate, effectiveReturn);
-            return daysOverdue;
+            return daysOverdue * FineLedger.FINE_PER_DAY_CENTS;
         }
-        return 0.0;
+        return 0;
     }
 }
 
-// Fine class
+// Fine class, a materialized view of one charge in the FineLedger
 class Fine {
-    private String fineId;
-    private double amount;
+    private long fineId;
+    private long amountCents;
     private LocalDate issuedDate;
     private boolean paid;
 
-    public Fine(String fineId, double amount, LocalDate issuedDate) {
+    public Fine(long fineId, long amountCents, LocalDate issuedDate) {
         this.fineId = fineId;
-        this.amount = amount;
+        this.amountCents = amountCents;
         this.issuedDate = issuedDate;
         this.paid = false;
     }
 
+    public long getFineId() {
+        return fineId;
+    }
+
+    public long getAmountCents() {
+        return amountCents;
+    }
+
+    public LocalDate getIssuedDate() {
+        return issuedDate;
+    }
+
+    public boolean isPaid() {
+        return paid;
+    }
+
     public void markAsPaid() {
         paid = true;
     }
+
+    @Override
+    public String toString() {
+        return "FineID: " + fineId + ", Amount: $" + FineLedger.format(amountCents) + ", Issued: " + issuedDate + ", Paid: " + paid;
+    }
+}
+
+// Append-only ledger of fines and payments. Entries live in parallel primitive
+// arrays (amounts in cents), each member's entries are chained through
+// previousForMember, and balances are kept per member index as entries are appended.
+class FineLedger {
+    public static final long FINE_PER_DAY_CENTS = 100;
+
+    private static final byte CHARGE = 0;
+    private static final byte PAYMENT = 1;
+
+    private byte[] kinds = new byte[16];
+    private long[] amounts = new long[16];
+    private long[] epochDays = new long[16];
+    private int[] memberIndexes = new int[16];
+    private int[] previousForMember = new int[16];
+    private int size;
+
+    // Indexed by the member's library index, so they grow with this library's members only
+    private long[] balances = new long[16];
+    private int[] lastEntry = new int[16];
+    // Members with a positive balance, grouped by balance
+    private TreeMap<Long, Set<Member>> owing = new TreeMap<>();
+
+    public FineLedger() {
+        Arrays.fill(lastEntry, -1);
+    }
+
+    public int recordFine(Member member, long amountCents, LocalDate date) {
+        return append(CHARGE, member, amountCents, date);
+    }
+
+    public int recordPayment(Member member, long amountCents, LocalDate date) {
+        return append(PAYMENT, member, amountCents, date);
+    }
+
+    private int append(byte kind, Member member, long amountCents, LocalDate date) {
+        if(amountCents <= 0) {
+            throw new IllegalArgumentException("Ledger amounts must be positive: " + amountCents);
+        }
+        if(member.getFineLedger() != this) {
+            throw new IllegalArgumentException("Member " + member.getMembershipId() + " is not registered with this ledger's library.");
+        }
+        int index = member.getLibraryIndex();
+        ensureMemberCapacity(index);
+        if(kind == PAYMENT && amountCents > balances[index]) {
+            throw new IllegalArgumentException("Payment of " + format(amountCents) + " exceeds the balance of " + format(balances[index]));
+        }
+        if(size == amounts.length) {
+            int capacity = size * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            memberIndexes = Arrays.copyOf(memberIndexes, capacity);
+            previousForMember = Arrays.copyOf(previousForMember, capacity);
+        }
+        int entry = size++;
+        kinds[entry] = kind;
+        amounts[entry] = amountCents;
+        epochDays[entry] = date.toEpochDay();
+        memberIndexes[entry] = index;
+        previousForMember[entry] = lastEntry[index];
+        lastEntry[index] = entry;
+
+        long oldBalance = balances[index];
+        long newBalance = (kind == CHARGE) ? Math.addExact(oldBalance, amountCents) : oldBalance - amountCents;
+        balances[index] = newBalance;
+        if(oldBalance > 0) {
+            Set<Member> group = owing.get(oldBalance);
+            group.remove(member);
+            if(group.isEmpty()) {
+                owing.remove(oldBalance);
+            }
+        }
+        if(newBalance > 0) {
+            owing.computeIfAbsent(newBalance, b -> new LinkedHashSet<>()).add(member);
+        }
+        return entry;
+    }
+
+    private void ensureMemberCapacity(int index) {
+        if(index >= balances.length) {
+            int capacity = Math.max(balances.length * 2, index + 1);
+            int oldLength = lastEntry.length;
+            balances = Arrays.copyOf(balances, capacity);
+            lastEntry = Arrays.copyOf(lastEntry, capacity);
+            Arrays.fill(lastEntry, oldLength, capacity, -1);
+        }
+    }
+
+    // The member's slot in this ledger, or -1 if it has no entries for them
+    private int indexOf(Member member) {
+        int index = member.getLibraryIndex();
+        return member.getFineLedger() == this && index < balances.length ? index : -1;
+    }
+
+    public long getBalanceCents(Member member) {
+        int index = indexOf(member);
+        return index < 0 ? 0 : balances[index];
+    }
+
+    // Members whose balance is strictly greater than the threshold, highest first
+    public List<Member> getMembersOwingOver(long thresholdCents) {
+        List<Member> results = new ArrayList<>();
+        for (Set<Member> group : owing.tailMap(thresholdCents, false).descendingMap().values()) {
+            results.addAll(group);
+        }
+        return results;
+    }
+
+    // Charges for a member in issue order; payments settle the oldest fines first
+    public List<Fine> getFines(Member member) {
+        int index = indexOf(member);
+        List<Fine> fines = new ArrayList<>();
+        long paidCents = 0;
+        for (int e = index < 0 ? -1 : lastEntry[index]; e >= 0; e = previousForMember[e]) {
+            if(kinds[e] == CHARGE) {
+                fines.add(new Fine(e, amounts[e], LocalDate.ofEpochDay(epochDays[e])));
+            } else {
+                paidCents += amounts[e];
+            }
+        }
+        Collections.reverse(fines);
+        for (Fine fine : fines) {
+            if(paidCents < fine.getAmountCents()) {
+                break;
+            }
+            paidCents -= fine.getAmountCents();
+            fine.markAsPaid();
+        }
+        return fines;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public static String format(long cents) {
+        return BigDecimal.valueOf(cents, 2).toPlainString();
+    }
+
+    // Parses a dollar amount such as "12.5" into exact cents
+    public static long parseCents(String amount) {
+        return new BigDecimal(amount.trim()).movePointRight(2).longValueExact();
+    }
 }
 
 // Reservation class
@@ -345,15 +725,15 @@ class Reservation {
 
 // Catalog class to search for books
 class Catalog {
-    private List<Book> books;
+    private Library library;
 
-    public Catalog(List<Book> books) {
-        this.books = books;
+    public Catalog(Library library) {
+        this.library = library;
     }
 
     public List<Book> searchByTitle(String title) {
         List<Book> results = new ArrayList<>();
-        for (Book b : books) {
+        for (Book b : library.getBooks()) {
             if (b.getTitle().toLowerCase().contains(title.toLowerCase())) {
                 results.add(b);
             }
@@ -361,23 +741,25 @@ class Catalog {
         return results;
     }
 
+    // Matches against the distinct registered authors, then collects their books
     public List<Book> searchByAuthor(String authorName) {
+        Set<Book> results = new LinkedHashSet<>();
+        for (Author a : library.findAuthors(authorName)) {
+            results.addAll(a.getBooks());
+        }
+        return new ArrayList<>(results);
+    }
+
+    public List<Book> searchByPublisher(String publisherName) {
         List<Book> results = new ArrayList<>();
-        for (Book b : books) {
-            // Check each author in the book
-            // (This example assumes Author names are unique identifiers)
-            for (Author a : b.authors) {
-                if (a.getName().toLowerCase().contains(authorName.toLowerCase())) {
-                    results.add(b);
-                    break;
-                }
-            }
+        for (Publisher p : library.findPublishers(publisherName)) {
+            results.addAll(p.getBooksPublished());
         }
         return results;
     }
 
     public Book searchByISBN(String isbn) {
-        for (Book b : books) {
+        for (Book b : library.getBooks()) {
             if (b.getIsbn().equals(isbn)) {
                 return b;
             }
@@ -386,15 +768,93 @@ class Catalog {
     }
 }
 
+// Registry that interns authors and publishers by normalized name, so each name
+// maps to one shared instance whose book list answers "all books by" directly
+class ContributorRegistry {
+    private Map<String, Author> authorsByName;
+    private Map<String, Publisher> publishersByName;
+
+    public ContributorRegistry() {
+        this.authorsByName = new LinkedHashMap<>();
+        this.publishersByName = new LinkedHashMap<>();
+    }
+
+    // Case-insensitive, with surrounding and repeated whitespace ignored
+    public static String normalize(String name) {
+        return name == null ? "" : name.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    public Author internAuthor(String name, String bio) {
+        return authorsByName.computeIfAbsent(normalize(name), key -> new Author(name, bio));
+    }
+
+    public Author internAuthor(Author author) {
+        return authorsByName.computeIfAbsent(normalize(author.getName()), key -> author);
+    }
+
+    public Publisher internPublisher(String name, String address) {
+        return publishersByName.computeIfAbsent(normalize(name), key -> new Publisher(name, address));
+    }
+
+    public Publisher internPublisher(Publisher publisher) {
+        return publishersByName.computeIfAbsent(normalize(publisher.getName()), key -> publisher);
+    }
+
+    public List<Author> getAuthors() {
+        return new ArrayList<>(authorsByName.values());
+    }
+
+    public List<Publisher> getPublishers() {
+        return new ArrayList<>(publishersByName.values());
+    }
+
+    public Author getAuthor(String name) {
+        return authorsByName.get(normalize(name));
+    }
+
+    public Publisher getPublisher(String name) {
+        return publishersByName.get(normalize(name));
+    }
+
+    // Substring match over the distinct names, each normalized once when interned
+    public List<Author> findAuthors(String fragment) {
+        String key = normalize(fragment);
+        List<Author> results = new ArrayList<>();
+        for (Map.Entry<String, Author> e : authorsByName.entrySet()) {
+            if (e.getKey().contains(key)) {
+                results.add(e.getValue());
+            }
+        }
+        return results;
+    }
+
+    public List<Publisher> findPublishers(String fragment) {
+        String key = normalize(fragment);
+        List<Publisher> results = new ArrayList<>();
+        for (Map.Entry<String, Publisher> e : publishersByName.entrySet()) {
+            if (e.getKey().contains(key)) {
+                results.add(e.getValue());
+            }
+        }
+        return results;
+    }
+}
+
 // Notification class
 class Notification {
-    private String notificationId;
+    private static final AtomicLong IDS = new AtomicLong();
+
+    private long notificationId;
     private User recipient;
     private String message;
     private LocalDate date;
     private NotificationType type;
 
-    public Notification(String notificationId, User recipient, String message, LocalDate date, NotificationType type) {
+    public static long nextNotificationId() {
+        return IDS.incrementAndGet();
+    }
+
+    public Notification(long notificationId, User recipient, String message, LocalDate date, NotificationType type) {
         this.notificationId = notificationId;
         this.recipient = recipient;
         this.message = message;
@@ -402,108 +862,1247 @@ class Notification {
         this.type = type;
     }
 
+    public NotificationType getType() {
+        return type;
+    }
+
     public void send() {
         System.out.println("Sending notification to " + recipient.getName() + ": " + message);
     }
 }
 
+// Timer node for one open loan, linked into a slot of the ReminderScheduler wheel
+class LoanTimer {
+    Loan loan;
+    long deadlineDay; // epoch day
+    NotificationType type;
+    LoanTimer prev;
+    LoanTimer next;
+}
+
+// Hashed timing wheel with one-day ticks. Every open loan holds one timer: a
+// DUE_REMINDER some days before the due date, which then re-arms itself as a
+// FINE_ALERT for the first overdue day. Slots are circular doubly-linked lists,
+// so scheduling and cancelling are O(1) regardless of how many timers are pending.
+class ReminderScheduler {
+    private final Supplier<LocalDate> today;
+    private final LoanTimer[] wheel;
+    private final int mask;
+    private int leadDays;
+    private long currentDay = Long.MIN_VALUE; // last day whose slot has been processed
+    private int pending;
+
+    public ReminderScheduler(Supplier<LocalDate> today, int leadDays, int wheelSize) {
+        if(wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two: " + wheelSize);
+        }
+        this.today = today;
+        this.leadDays = leadDays;
+        this.wheel = new LoanTimer[wheelSize];
+        this.mask = wheelSize - 1;
+        for (int i = 0; i < wheelSize; i++) {
+            LoanTimer head = new LoanTimer();
+            head.prev = head;
+            head.next = head;
+            wheel[i] = head;
+        }
+    }
+
+    // Starts the wheel on first use so a clock replaced after construction is honoured
+    private void start() {
+        if(currentDay == Long.MIN_VALUE) {
+            currentDay = today.get().toEpochDay() - 1;
+        }
+    }
+
+    public void setLeadDays(int leadDays) {
+        this.leadDays = leadDays;
+    }
+
+    public int getPendingCount() {
+        return pending;
+    }
+
+    public void schedule(Loan loan) {
+        start();
+        cancel(loan);
+        LoanTimer timer = new LoanTimer();
+        timer.loan = loan;
+        timer.type = NotificationType.DUE_REMINDER;
+        loan.reminderTimer = timer;
+        insert(timer, loan.getDueDate().toEpochDay() - leadDays);
+    }
+
+    public void cancel(Loan loan) {
+        LoanTimer timer = loan.reminderTimer;
+        if(timer != null) {
+            unlink(timer);
+            loan.reminderTimer = null;
+        }
+    }
+
+    // Fires every timer due up to the clock's current day; returns how many fired
+    public int advance() {
+        return advanceTo(today.get());
+    }
+
+    public int advanceTo(LocalDate date) {
+        start();
+        long day = date.toEpochDay();
+        if(day <= currentDay) {
+            return 0;
+        }
+        // After a long gap one sweep of the wheel visits every slot
+        long lastSlotDay = Math.min(day, currentDay + wheel.length);
+        List<LoanTimer> expired = new ArrayList<>();
+        for (long d = currentDay + 1; d <= lastSlotDay; d++) {
+            LoanTimer head = wheel[(int) (d & mask)];
+            LoanTimer timer = head.next;
+            while(timer != head) {
+                LoanTimer next = timer.next;
+                if(timer.deadlineDay <= day) {
+                    unlink(timer);
+                    expired.add(timer);
+                }
+                timer = next;
+            }
+        }
+        currentDay = day;
+        for (LoanTimer timer : expired) {
+            fire(timer, date);
+        }
+        return expired.size();
+    }
+
+    private void fire(LoanTimer timer, LocalDate date) {
+        Loan loan = timer.loan;
+        String title = loan.getBook().getTitle();
+        // A clock that jumped past the due date goes straight to the overdue alert
+        if(timer.type == NotificationType.DUE_REMINDER && !date.isAfter(loan.getDueDate())) {
+            new Notification(Notification.nextNotificationId(), loan.getMember(),
+                    "\"" + title + "\" is due on " + loan.getDueDate() + ".", date, NotificationType.DUE_REMINDER).send();
+            timer.type = NotificationType.FINE_ALERT;
+            insert(timer, loan.getDueDate().toEpochDay() + 1);
+        } else {
+            new Notification(Notification.nextNotificationId(), loan.getMember(),
+                    "\"" + title + "\" is overdue since " + loan.getDueDate() + ". Fines accrue at $"
+                            + FineLedger.format(FineLedger.FINE_PER_DAY_CENTS) + " per day.", date, NotificationType.FINE_ALERT).send();
+            loan.reminderTimer = null;
+        }
+    }
+
+    // Deadlines already passed go into the next unprocessed slot
+    private void insert(LoanTimer timer, long deadlineDay) {
+        timer.deadlineDay = Math.max(deadlineDay, currentDay + 1);
+        LoanTimer head = wheel[(int) (timer.deadlineDay & mask)];
+        timer.prev = head.prev;
+        timer.next = head;
+        head.prev.next = timer;
+        head.prev = timer;
+        pending++;
+    }
+
+    private void unlink(LoanTimer timer) {
+        timer.prev.next = timer.next;
+        timer.next.prev = timer.prev;
+        timer.prev = null;
+        timer.next = null;
+        pending--;
+    }
+}
+
 // Library class containing the books, members and librarians
 class Library {
     private String name;
     private String address;
-    private List<Book> books;
-    private List<Member> members;
+    // Writers append to the logs and then publish a new state; readers only ever see published states
+    private BookLog books;
+    private AppendLog<Member> members;
+    private volatile LibraryState state;
     private List<Librarian> librarians;
+    // External string ids are resolved once here; everything past the boundary works on object references
+    private Map<String, Book> booksById;
+    private Map<String, Member> membersById;
+    private FineLedger fineLedger;
+    private ContributorRegistry contributors;
+    private Clock clock;
+    private ReminderScheduler reminderScheduler;
+    // Set when loaded from a catalog image; books not yet in booksById are looked up in its id index
+    private CatalogImage catalogImage;
 
     public Library(String name, String address) {
         this.name = name;
         this.address = address;
-        this.books = new ArrayList<>();
-        this.members = new ArrayList<>();
+        this.books = new BookLog(null);
+        this.members = new AppendLog<>();
+        this.state = new LibraryState(0, books, 0, 0, members, 0);
         this.librarians = new ArrayList<>();
+        this.booksById = new HashMap<>();
+        this.membersById = new HashMap<>();
+        this.fineLedger = new FineLedger();
+        this.contributors = new ContributorRegistry();
+        this.clock = Clock.systemDefaultZone();
+        this.reminderScheduler = new ReminderScheduler(this::today, 2, 512);
+    }
+
+    // Used by CatalogImage.load; books stay in the image until first accessed
+    Library(String name, String address, CatalogImage catalogImage) {
+        this(name, address);
+        this.catalogImage = catalogImage;
+        this.books = new BookLog(catalogImage);
+        this.state = new LibraryState(0, books, books.size(), 0, members, 0);
+    }
+
+    // Publishes the logs' current contents as the state new readers will see
+    private void publish(long version, int removedBooks) {
+        state = new LibraryState(version, books, books.size(), removedBooks, members, members.size());
+        Versions.commit(version);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getAddress() {
+        return address;
     }
 
     public void addBook(Book book) {
-        books.add(book);
+        if(getBookById(book.getBookId()) != null) {
+            System.out.println("Book with ID " + book.getBookId() + " already exists.");
+            return;
+        }
+        book.linkContributors(contributors);
+        booksById.put(book.getBookId(), book);
+        long version = Versions.next();
+        books.append(book);
+        publish(version, state.removedBookCount);
         System.out.println("Book added: " + book.getTitle());
     }
 
     public void removeBook(String bookId) {
-        Iterator<Book> iterator = books.iterator();
-        while(iterator.hasNext()){
-            Book b = iterator.next();
-            if(b.getBookId().equals(bookId)) {
-                iterator.remove();
-                System.out.println("Book removed: " + b.getTitle());
-                return;
-            }
+        Book b = getBookById(bookId);
+        if(b == null) {
+            System.out.println("Book with ID " + bookId + " not found.");
+            return;
+        }
+        // Removal only marks the book; snapshots taken earlier still list it
+        booksById.remove(bookId);
+        long version = Versions.next();
+        b.markRemoved(version);
+        publish(version, state.removedBookCount + 1);
+        b.unlinkContributors();
+        if(state.removedBookCount > state.bookCount / 2) {
+            compactBooks();
         }
-        System.out.println("Book with ID " + bookId + " not found.");
+        System.out.println("Book removed: " + b.getTitle());
     }
 
     public void registerMember(Member member) {
-        members.add(member);
+        if(!restoreMember(member)) {
+            System.out.println("Member with ID " + member.getMembershipId() + " already exists.");
+            return;
+        }
         System.out.println("Member registered: " + member.getName());
     }
 
-    public List<Book> getBooks(){
-        return books;
+    // Adds a member without announcing it; returns false if the membership id is taken
+    boolean restoreMember(Member member) {
+        if(membersById.putIfAbsent(member.getMembershipId(), member) != null) {
+            return false;
+        }
+        member.attachLibrary(this, members.size());
+        long version = Versions.next();
+        members.append(member);
+        publish(version, state.removedBookCount);
+        return true;
+    }
+
+    // Copies the live books into a fresh log once most entries are removed. Open
+    // snapshots keep the old log alive through their state, so nothing is blocked.
+    private void compactBooks() {
+        LibraryState current = state;
+        BookLog compacted = new BookLog(null);
+        for (int i = 0; i < current.bookCount; i++) {
+            Book book = books.get(i);
+            if(!book.isRemoved()) {
+                compacted.append(book);
+                booksById.putIfAbsent(book.getBookId(), book);
+            }
+        }
+        // Every live book is now in booksById, so the image index is no longer needed
+        catalogImage = null;
+        books = compacted;
+        publish(Versions.next(), 0);
     }
 
-    public List<Member> getMembers(){
-        return members;
+    // Point-in-time view for long-running reads; close it when done
+    public LibrarySnapshot snapshot() {
+        return LibrarySnapshot.open(this);
     }
 
-    public List<Librarian> getLibrarians() {
-        return librarians;
+    LibraryState getState() {
+        return state;
     }
 
-    public void addLibrarian(Librarian librarian) {
-        librarians.add(librarian);
+    public ContributorRegistry getContributors() {
+        return contributors;
     }
 
-    public Book getBookById(String bookId) {
-        for(Book b : books) {
-            if(b.getBookId().equals(bookId)) {
-                return b;
-            }
-        }
-        return null;
+    public List<Author> findAuthors(String fragment) {
+        return contributors.findAuthors(fragment);
     }
 
-    // Issues a book to a member
-    public void issueBook(String bookId, String memberId) {
-        Book book = getBookById(bookId);
-        Member member = null;
-        for (Member m : members) {
-            if (m.getMembershipId().equals(memberId)) {
-                member = m;
-                break;
-            }
-        }
-        if(book != null && member != null) {
-            member.borrowBook(book);
-        } else {
-            System.out.println("Book or Member not found.");
-        }
+    public List<Publisher> findPublishers(String fragment) {
+        return contributors.findPublishers(fragment);
     }
-}
+
+    public List<Book> getBooksByAuthor(String authorName) {
+        Author author = contributors.getAuthor(authorName);
+        return author == null ? Collections.emptyList() : author.getBooks();
+    }
+
+    public List<Book> getBooksByPublisher(String publisherName) {
+        Publisher publisher = contributors.getPublisher(publisherName);
+        return publisher == null ? Collections.emptyList() : publisher.getBooksPublished();
+    }
+
+    public FineLedger getFineLedger() {
+        return fineLedger;
+    }
+
+    // Replaced in tests to move time without waiting for it
+    public void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    public ReminderScheduler getReminderScheduler() {
+        return reminderScheduler;
+    }
+
+    public List<Member> getMembersOwingOver(long thresholdCents) {
+        return fineLedger.getMembersOwingOver(thresholdCents);
+    }
+
+    // Read-only views of the current state; use snapshot() when statuses must be consistent too
+    public List<Book> getBooks(){
+        LibraryState current = state;
+        return current.books(current.version);
+    }
+
+    public List<Member> getMembers(){
+        return state.members();
+    }
+
+    public List<Librarian> getLibrarians() {
+        return Collections.unmodifiableList(librarians);
+    }
+
+    public void addLibrarian(Librarian librarian) {
+        librarians.add(librarian);
+    }
+
+    public Book getBookById(String bookId) {
+        Book book = booksById.get(bookId);
+        if(book == null && catalogImage != null) {
+            int record = catalogImage.findBook(bookId);
+            if(record >= 0) {
+                book = books.getImageBook(record);
+                if(book.isRemoved()) {
+                    return null;
+                }
+                booksById.put(bookId, book);
+            }
+        }
+        return book;
+    }
+
+    public Member getMemberById(String membershipId) {
+        return membersById.get(membershipId);
+    }
+
+    // Issues a book to a member
+    public void issueBook(String bookId, String memberId) {
+        Book book = getBookById(bookId);
+        Member member = getMemberById(memberId);
+        if(book != null && member != null) {
+            member.borrowBook(book);
+        } else {
+            System.out.println("Book or Member not found.");
+        }
+    }
+}
+
+// Process-wide version clock for snapshot reads. Library writes are expected to be
+// serialized, as the rest of the model is not thread-safe: each change is stamped with
+// next() and made visible with commit(). Open snapshots are counted per version so
+// status chains are only kept back to the oldest version still being read.
+class Versions {
+    private static final AtomicLong LATEST = new AtomicLong();
+    private static volatile long committed;
+    private static final ConcurrentSkipListMap<Long, Integer> OPEN = new ConcurrentSkipListMap<>();
+
+    public static long next() {
+        return LATEST.incrementAndGet();
+    }
+
+    public static void commit(long version) {
+        committed = version;
+    }
+
+    public static long committed() {
+        return committed;
+    }
+
+    // Registers a reader at the committed version. Retries if a write committed in
+    // between, so a writer that missed the registration cannot have pruned what it needs.
+    public static long acquire(long atLeast) {
+        while(true) {
+            long version = Math.max(committed, atLeast);
+            OPEN.merge(version, 1, Integer::sum);
+            if(committed <= version) {
+                return version;
+            }
+            release(version);
+        }
+    }
+
+    public static void release(long version) {
+        OPEN.computeIfPresent(version, (v, count) -> count == 1 ? null : count - 1);
+    }
+
+    public static long oldestNeeded() {
+        long oldest = committed;
+        Map.Entry<Long, Integer> first = OPEN.firstEntry();
+        return first == null ? oldest : Math.min(oldest, first.getKey());
+    }
+}
+
+// Append-only chunked list. Published elements never move, so a reader that got a
+// size from a published LibraryState can index below it without locks.
+class AppendLog<T> {
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    private volatile Object[][] chunks = new Object[1][];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) chunks[index >>> CHUNK_SHIFT][index & (CHUNK_SIZE - 1)];
+    }
+
+    public void append(T item) {
+        int chunk = size >>> CHUNK_SHIFT;
+        Object[][] current = chunks;
+        if(chunk == current.length) {
+            current = Arrays.copyOf(current, chunk * 2);
+        }
+        if(current[chunk] == null) {
+            current[chunk] = new Object[CHUNK_SIZE];
+        }
+        current[chunk][size & (CHUNK_SIZE - 1)] = item;
+        chunks = current;
+        size++;
+    }
+}
+
+// Book records of one author or publisher in a catalog image, resolved through the
+// library's BookLog when asked for, so untouched records stay in the mapping
+class ImageBookRecords {
+    private final CatalogImage image;
+    private final BookLog log;
+    private final int offset;
+    private final int count;
+
+    ImageBookRecords(CatalogImage image, BookLog log, int offset, int count) {
+        this.image = image;
+        this.log = log;
+        this.offset = offset;
+        this.count = count;
+    }
+
+    public List<Book> resolve() {
+        List<Book> books = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int record = image.getListEntry(offset, i);
+            if(!log.isRemoved(record)) {
+                books.add(log.getImageBook(record));
+            }
+        }
+        return books;
+    }
+}
+
+// Book log: catalog image records, materialized into Book objects on first access,
+// followed by the books added since
+class BookLog {
+    private final CatalogImage image;
+    private final AtomicReferenceArray<Book> imageBooks;
+    private final AppendLog<Book> appended;
+
+    public BookLog(CatalogImage image) {
+        this.image = image;
+        this.imageBooks = new AtomicReferenceArray<>(image == null ? 0 : image.getBookCount());
+        this.appended = new AppendLog<>();
+    }
+
+    public int size() {
+        return imageBooks.length() + appended.size();
+    }
+
+    public Book get(int index) {
+        return index < imageBooks.length() ? getImageBook(index) : appended.get(index - imageBooks.length());
+    }
+
+    public Book getImageBook(int record) {
+        Book book = imageBooks.get(record);
+        return book != null ? book : materialize(record);
+    }
+
+    // Removing a book needs its object, so an image record never materialized is still present
+    public boolean isRemovedAt(int index, long version) {
+        Book book = peek(index);
+        return book != null && book.isRemovedAt(version);
+    }
+
+    public boolean isRemoved(int index) {
+        Book book = peek(index);
+        return book != null && book.isRemoved();
+    }
+
+    public CatalogImage getImage() {
+        return image;
+    }
+
+    // The entry's Book if it exists yet, without materializing image records
+    public Book peek(int index) {
+        return index < imageBooks.length() ? imageBooks.get(index) : appended.get(index - imageBooks.length());
+    }
+
+    // Lock-free: when threads race on a record, the first published Book wins and the
+    // others drop their copy, so each record still becomes exactly one Book
+    private Book materialize(int record) {
+        Book book = image.materializeBook(record);
+        return imageBooks.compareAndSet(record, null, book) ? book : imageBooks.get(record);
+    }
+
+    public void append(Book book) {
+        appended.append(book);
+    }
+}
+
+// Immutable point-in-time state of a Library, republished after every change to its
+// book or member logs
+class LibraryState {
+    final long version;
+    final BookLog books;
+    final int bookCount;
+    final int removedBookCount;
+    final AppendLog<Member> members;
+    final int memberCount;
+
+    LibraryState(long version, BookLog books, int bookCount, int removedBookCount, AppendLog<Member> members, int memberCount) {
+        this.version = version;
+        this.books = books;
+        this.bookCount = bookCount;
+        this.removedBookCount = removedBookCount;
+        this.members = members;
+        this.memberCount = memberCount;
+    }
+
+    // Books in this state not removed at or before the given version
+    List<Book> books(long version) {
+        return new BookLogView(books, bookCount, removedBookCount == 0 ? -1 : version);
+    }
+
+    List<Member> members() {
+        return new MemberLogView(members, memberCount);
+    }
+}
+
+// Read-only list over the first count entries of a BookLog. When removals are
+// possible, the positions of the visible books are resolved once on first use.
+class BookLogView extends AbstractList<Book> implements RandomAccess {
+    private final BookLog log;
+    private final int count;
+    private final long version; // -1 when no entry can be removed
+    private int[] positions;
+
+    BookLogView(BookLog log, int count, long version) {
+        this.log = log;
+        this.count = count;
+        this.version = version;
+    }
+
+    private int[] positions() {
+        if(positions == null) {
+            int[] visible = new int[count];
+            int n = 0;
+            for (int i = 0; i < count; i++) {
+                if(!log.isRemovedAt(i, version)) {
+                    visible[n++] = i;
+                }
+            }
+            positions = Arrays.copyOf(visible, n);
+        }
+        return positions;
+    }
+
+    @Override
+    public Book get(int index) {
+        if(version < 0) {
+            Objects.checkIndex(index, count);
+            return log.get(index);
+        }
+        return log.get(positions()[index]);
+    }
+
+    @Override
+    public int size() {
+        return version < 0 ? count : positions().length;
+    }
+}
+
+class MemberLogView extends AbstractList<Member> implements RandomAccess {
+    private final AppendLog<Member> log;
+    private final int count;
+
+    MemberLogView(AppendLog<Member> log, int count) {
+        this.log = log;
+        this.count = count;
+    }
+
+    @Override
+    public Member get(int index) {
+        Objects.checkIndex(index, count);
+        return log.get(index);
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+}
+
+// Point-in-time view of a Library for reports, audits and exports: which books and
+// members existed and each book's status. Reading it takes no locks and never blocks
+// circulation. Book and Member objects are shared with the live library, so read
+// statuses through statusOf(); other member state (loans, fines) is live, not part of
+// the snapshot. Close the snapshot when done. Versions it kept alive are dropped the
+// next time each book's status changes, not on close.
+class LibrarySnapshot implements AutoCloseable {
+    private final LibraryState state;
+    private final long version;
+    private boolean closed;
+
+    private LibrarySnapshot(LibraryState state, long version) {
+        this.state = state;
+        this.version = version;
+    }
+
+    // Retries until no state was published between reading it and acquiring the version;
+    // otherwise a newer version could be paired with an older book and member list
+    static LibrarySnapshot open(Library library) {
+        while(true) {
+            LibraryState state = library.getState();
+            long version = Versions.acquire(state.version);
+            if(library.getState() == state) {
+                return new LibrarySnapshot(state, version);
+            }
+            Versions.release(version);
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public List<Book> getBooks() {
+        return state.books(version);
+    }
+
+    public List<Member> getMembers() {
+        return state.members();
+    }
+
+    public BookStatus statusOf(Book book) {
+        return book.getStatusAt(version);
+    }
+
+    // Inventory counts per status, as of this snapshot
+    public Map<BookStatus, Integer> countByStatus() {
+        Map<BookStatus, Integer> counts = new EnumMap<>(BookStatus.class);
+        for (BookStatus status : BookStatus.values()) {
+            counts.put(status, 0);
+        }
+        for (Book book : getBooks()) {
+            counts.merge(statusOf(book), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        if(!closed) {
+            closed = true;
+            Versions.release(version);
+        }
+    }
+}
+
+// Compact binary image of a Library, written on shutdown and memory-mapped on
+// startup. Authors, publishers, members and librarians are decoded eagerly; books
+// are fixed-size records decoded only when first accessed.
+//
+// Layout (big-endian, all offsets absolute): header (ending with a CRC32C of the
+// body followed by the header with its checksum zeroed), string pool (int length +
+// UTF-8 bytes), per-author and per-publisher book record lists, author table,
+// publisher table, book records, book-author links, book id index (record numbers
+// sorted by bookId), members, librarians.
+class CatalogImage {
+    private static final int MAGIC = 0x4C49424D; // "LIBM"
+    private static final int VERSION = 3;
+    private static final int HEADER_SIZE = 72;
+    private static final int CHECKSUM_OFFSET = 68;
+    private static final int CONTRIBUTOR_ENTRY_SIZE = 16; // name, bio/address, list offset, list count
+    private static final int BOOK_RECORD_SIZE = 24;
+    private static final int NO_ENTRY = -1;
+
+    private final ByteBuffer buffer;
+    private final int bookCount;
+    private final int bookRecordsOffset;
+    private final int bookAuthorsOffset;
+    private final int idIndexOffset;
+    private final int listsOffset;
+    private final int authorsOffset;
+    private final int publishersOffset;
+    private final Author[] authors;
+    private final Publisher[] publishers;
+
+    private CatalogImage(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if(buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not a catalog image (version " + VERSION + ")");
+        }
+        // Strings and links inside book records are only read lazily, so damage anywhere has to be caught here
+        if(checksum(buffer) != buffer.getInt(CHECKSUM_OFFSET)) {
+            throw new IOException("Corrupt catalog image: checksum mismatch");
+        }
+        int authorCount = buffer.getInt(16);
+        int publisherCount = buffer.getInt(20);
+        this.bookCount = buffer.getInt(24);
+        this.authorsOffset = buffer.getInt(36);
+        this.publishersOffset = buffer.getInt(40);
+        this.bookRecordsOffset = buffer.getInt(44);
+        this.bookAuthorsOffset = buffer.getInt(48);
+        this.idIndexOffset = buffer.getInt(52);
+        this.listsOffset = buffer.getInt(64);
+
+        // Sections are laid out in order, so each must fit before the next one starts
+        checkSection(listsOffset, 0, 4, authorsOffset);
+        checkSection(authorsOffset, authorCount, CONTRIBUTOR_ENTRY_SIZE, publishersOffset);
+        checkSection(publishersOffset, publisherCount, CONTRIBUTOR_ENTRY_SIZE, bookRecordsOffset);
+        checkSection(bookRecordsOffset, bookCount, BOOK_RECORD_SIZE, bookAuthorsOffset);
+        checkSection(bookAuthorsOffset, 0, 4, idIndexOffset);
+        checkSection(idIndexOffset, bookCount, 4, buffer.getInt(56));
+        checkSection(buffer.getInt(56), buffer.getInt(28), 20, buffer.getInt(60));
+        checkSection(buffer.getInt(60), buffer.getInt(32), 20, buffer.capacity());
+
+        this.authors = new Author[authorCount];
+        for (int i = 0; i < authorCount; i++) {
+            int at = authorsOffset + i * CONTRIBUTOR_ENTRY_SIZE;
+            authors[i] = new Author(readString(buffer.getInt(at)), readString(buffer.getInt(at + 4)));
+        }
+        this.publishers = new Publisher[publisherCount];
+        for (int i = 0; i < publisherCount; i++) {
+            int at = publishersOffset + i * CONTRIBUTOR_ENTRY_SIZE;
+            publishers[i] = new Publisher(readString(buffer.getInt(at)), readString(buffer.getInt(at + 4)));
+        }
+    }
+
+    // One sequential pass over the body, then the header with its checksum field zeroed
+    private static int checksum(ByteBuffer buffer) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(HEADER_SIZE, buffer.capacity() - HEADER_SIZE));
+        byte[] header = new byte[HEADER_SIZE];
+        buffer.get(0, header);
+        Arrays.fill(header, CHECKSUM_OFFSET, CHECKSUM_OFFSET + 4, (byte) 0);
+        crc.update(header);
+        return (int) crc.getValue();
+    }
+
+    private void checkSection(int offset, int count, int entrySize, int end) throws IOException {
+        if(offset < HEADER_SIZE || count < 0 || end > buffer.capacity() || offset + (long) count * entrySize > end) {
+            throw new IOException("Corrupt catalog image: section at " + offset + " overruns " + end);
+        }
+    }
+
+    // Loads the image generation named by the pointer file written by save
+    public static Library open(Path pointer) throws IOException {
+        String name = Files.readString(pointer).trim();
+        if(generationOf(pointer, name) < 0) {
+            throw new IOException("Not a catalog image pointer: " + pointer);
+        }
+        return load(pointer.resolveSibling(name));
+    }
+
+    // The loaded image stays mapped for the life of the process and Windows refuses to
+    // replace or delete a mapped file, so each save writes a new generation file and then
+    // swaps the small pointer file over to it. Older generations are removed when the OS
+    // allows it; one still mapped is left for a later save to clean up.
+    public static void save(Library library, Path pointer) throws IOException {
+        long generation = 0;
+        if(Files.exists(pointer)) {
+            generation = Math.max(generation, generationOf(pointer, Files.readString(pointer).trim()));
+        }
+        Path image;
+        do {
+            generation++;
+            image = pointer.resolveSibling(pointer.getFileName() + "." + generation);
+        } while(Files.exists(image));
+        write(library, image);
+
+        Path temp = pointer.resolveSibling(pointer.getFileName() + ".tmp");
+        Files.writeString(temp, image.getFileName().toString());
+        Files.move(temp, pointer, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Path dir = pointer.toAbsolutePath().getParent();
+        try (DirectoryStream<Path> old = Files.newDirectoryStream(dir, pointer.getFileName() + ".*")) {
+            for (Path file : old) {
+                long g = generationOf(pointer, file.getFileName().toString());
+                if(g >= 0 && g != generation) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException e) {
+                        // Still mapped by this process
+                    }
+                }
+            }
+        }
+    }
+
+    // Generation number of an image file name such as library.img.7, or -1 if it is not one
+    private static long generationOf(Path pointer, String name) {
+        String prefix = pointer.getFileName() + ".";
+        if(!name.startsWith(prefix) || name.length() == prefix.length() || name.length() - prefix.length() > 18) {
+            return -1;
+        }
+        for (int i = prefix.length(); i < name.length(); i++) {
+            if(name.charAt(i) < '0' || name.charAt(i) > '9') {
+                return -1;
+            }
+        }
+        return Long.parseLong(name.substring(prefix.length()));
+    }
+
+    public static Library load(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if(channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Catalog image too large to map: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            return load(buffer);
+        } catch (RuntimeException e) {
+            // The checksum matched, so this is an image the writer itself got wrong
+            throw new IOException("Corrupt catalog image: " + path, e);
+        }
+    }
+
+    private static Library load(ByteBuffer buffer) throws IOException {
+        CatalogImage image = new CatalogImage(buffer);
+        Library library = new Library(image.readString(buffer.getInt(8)), image.readString(buffer.getInt(12)), image);
+        image.registerContributors(library.getContributors(), library.getState().books);
+
+        int memberCount = buffer.getInt(28);
+        int membersOffset = buffer.getInt(56);
+        for (int i = 0; i < memberCount; i++) {
+            int at = membersOffset + i * 20;
+            library.restoreMember(new Member(image.readString(buffer.getInt(at)), image.readString(buffer.getInt(at + 4)),
+                    image.readString(buffer.getInt(at + 8)), image.readString(buffer.getInt(at + 12)),
+                    image.readString(buffer.getInt(at + 16))));
+        }
+        int librarianCount = buffer.getInt(32);
+        int librariansOffset = buffer.getInt(60);
+        for (int i = 0; i < librarianCount; i++) {
+            int at = librariansOffset + i * 20;
+            library.addLibrarian(new Librarian(image.readString(buffer.getInt(at)), image.readString(buffer.getInt(at + 4)),
+                    image.readString(buffer.getInt(at + 8)), image.readString(buffer.getInt(at + 12)),
+                    image.readString(buffer.getInt(at + 16))));
+        }
+        return library;
+    }
+
+    // Interns the author and publisher tables so materialized books already point at the
+    // registry's instances, and hands each one its book records from the image
+    private void registerContributors(ContributorRegistry registry, BookLog log) throws IOException {
+        for (int i = 0; i < authors.length; i++) {
+            if(registry.internAuthor(authors[i]) != authors[i]) {
+                throw new IOException("Duplicate author in catalog image: " + authors[i].getName());
+            }
+            authors[i].attachImageBooks(bookRecords(authorsOffset + i * CONTRIBUTOR_ENTRY_SIZE, log));
+        }
+        for (int i = 0; i < publishers.length; i++) {
+            if(registry.internPublisher(publishers[i]) != publishers[i]) {
+                throw new IOException("Duplicate publisher in catalog image: " + publishers[i].getName());
+            }
+            publishers[i].attachImageBooks(bookRecords(publishersOffset + i * CONTRIBUTOR_ENTRY_SIZE, log));
+        }
+    }
+
+    private ImageBookRecords bookRecords(int entry, BookLog log) throws IOException {
+        int offset = buffer.getInt(entry + 8);
+        int count = buffer.getInt(entry + 12);
+        checkSection(offset, count, 4, authorsOffset);
+        return new ImageBookRecords(this, log, offset, count);
+    }
+
+    public int getListEntry(int offset, int index) {
+        return buffer.getInt(offset + index * 4);
+    }
+
+    public int getBookCount() {
+        return bookCount;
+    }
+
+    public Book materializeBook(int record) {
+        int at = bookRecordsOffset + record * BOOK_RECORD_SIZE;
+        return new Book(readString(buffer.getInt(at)), readString(buffer.getInt(at + 4)), readString(buffer.getInt(at + 8)),
+                authorsOf(record), publisherOf(record));
+    }
+
+    public List<Author> authorsOf(int record) {
+        int at = bookRecordsOffset + record * BOOK_RECORD_SIZE;
+        int authorStart = buffer.getInt(at + 16);
+        int authorCount = buffer.getShort(at + 20);
+        List<Author> bookAuthors = new ArrayList<>(authorCount);
+        for (int i = 0; i < authorCount; i++) {
+            bookAuthors.add(authors[buffer.getInt(bookAuthorsOffset + (authorStart + i) * 4)]);
+        }
+        return bookAuthors;
+    }
+
+    public Publisher publisherOf(int record) {
+        int publisher = buffer.getInt(bookRecordsOffset + record * BOOK_RECORD_SIZE + 12);
+        return publisher == NO_ENTRY ? null : publishers[publisher];
+    }
+
+    public String bookIdOf(int record) {
+        return readString(buffer.getInt(bookRecordsOffset + record * BOOK_RECORD_SIZE));
+    }
+
+    // Copies one of a record's strings (0 id, 1 title, 2 isbn) into another image without decoding it
+    public int copyBookString(int record, int field, DataOutputStream out) throws IOException {
+        int offset = buffer.getInt(bookRecordsOffset + record * BOOK_RECORD_SIZE + field * 4);
+        if(offset == NO_ENTRY) {
+            return NO_ENTRY;
+        }
+        byte[] bytes = new byte[buffer.getInt(offset)];
+        buffer.get(offset + 4, bytes);
+        int copied = position(out);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        return copied;
+    }
+
+    // Binary search of the id index; returns the book record number or -1
+    public int findBook(String bookId) {
+        int low = 0;
+        int high = bookCount - 1;
+        while(low <= high) {
+            int mid = (low + high) >>> 1;
+            int record = buffer.getInt(idIndexOffset + mid * 4);
+            int cmp = readString(buffer.getInt(bookRecordsOffset + record * BOOK_RECORD_SIZE)).compareTo(bookId);
+            if(cmp < 0) {
+                low = mid + 1;
+            } else if(cmp > 0) {
+                high = mid - 1;
+            } else {
+                return record;
+            }
+        }
+        return -1;
+    }
+
+    private String readString(int offset) {
+        if(offset == NO_ENTRY) {
+            return null;
+        }
+        byte[] bytes = new byte[buffer.getInt(offset)];
+        buffer.get(offset + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Writes to a temporary file and moves it into place so a crash never leaves a torn image.
+    // Circulation state (loans, fines, book status) is not part of the image.
+    public static void write(Library library, Path path) throws IOException {
+        // Live entries of the book log. Image records nobody has touched have no Book
+        // object yet; they are copied from the source mapping instead of materialized.
+        LibraryState state = library.getState();
+        BookLog log = state.books;
+        CatalogImage source = log.getImage();
+        Book[] objects = new Book[state.bookCount];
+        int[] records = new int[state.bookCount];
+        int bookCount = 0;
+        for (int i = 0; i < state.bookCount; i++) {
+            if(!log.isRemoved(i)) {
+                objects[bookCount] = log.peek(i);
+                records[bookCount] = i;
+                bookCount++;
+            }
+        }
+
+        Map<Author, Integer> authorIndex = new IdentityHashMap<>();
+        Map<Publisher, Integer> publisherIndex = new IdentityHashMap<>();
+        List<Author> authors = library.getContributors().getAuthors();
+        List<Publisher> publishers = library.getContributors().getPublishers();
+        for (int i = 0; i < authors.size(); i++) {
+            authorIndex.put(authors.get(i), i);
+        }
+        for (int i = 0; i < publishers.size(); i++) {
+            publisherIndex.put(publishers.get(i), i);
+        }
+        for (int i = 0; i < bookCount; i++) {
+            for (Author a : authorsOf(objects, records, source, i)) {
+                if(authorIndex.putIfAbsent(a, authors.size()) == null) {
+                    authors.add(a);
+                }
+            }
+            Publisher p = publisherOf(objects, records, source, i);
+            if(p != null && publisherIndex.putIfAbsent(p, publishers.size()) == null) {
+                publishers.add(p);
+            }
+        }
+        List<Member> members = library.getMembers();
+        List<Librarian> librarians = library.getLibrarians();
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        int[] header = new int[HEADER_SIZE / 4];
+        header[0] = MAGIC;
+        header[1] = VERSION;
+        CRC32C crc = new CRC32C();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new CheckedOutputStream(Files.newOutputStream(temp), crc), 1 << 16))) {
+            out.write(new byte[HEADER_SIZE]);
+            out.flush();
+            crc.reset();
+
+            // String pool
+            header[2] = writeString(out, library.getName());
+            header[3] = writeString(out, library.getAddress());
+            int[] authorStrings = new int[authors.size() * 2];
+            for (int i = 0; i < authors.size(); i++) {
+                authorStrings[i * 2] = writeString(out, authors.get(i).getName());
+                authorStrings[i * 2 + 1] = writeString(out, authors.get(i).getBio());
+            }
+            int[] publisherStrings = new int[publishers.size() * 2];
+            for (int i = 0; i < publishers.size(); i++) {
+                publisherStrings[i * 2] = writeString(out, publishers.get(i).getName());
+                publisherStrings[i * 2 + 1] = writeString(out, publishers.get(i).getAddress());
+            }
+            int[] bookStrings = new int[bookCount * 3];
+            String[] bookIds = new String[bookCount];
+            for (int i = 0; i < bookCount; i++) {
+                Book b = objects[i];
+                if(b != null) {
+                    bookStrings[i * 3] = writeString(out, b.getBookId());
+                    bookStrings[i * 3 + 1] = writeString(out, b.getTitle());
+                    bookStrings[i * 3 + 2] = writeString(out, b.getIsbn());
+                    bookIds[i] = b.getBookId();
+                } else {
+                    for (int field = 0; field < 3; field++) {
+                        bookStrings[i * 3 + field] = source.copyBookString(records[i], field, out);
+                    }
+                    bookIds[i] = source.bookIdOf(records[i]);
+                }
+            }
+            int[] memberStrings = new int[members.size() * 5];
+            for (int i = 0; i < members.size(); i++) {
+                Member m = members.get(i);
+                writeUserStrings(out, m, m.getMembershipId(), memberStrings, i * 5);
+            }
+            int[] librarianStrings = new int[librarians.size() * 5];
+            for (int i = 0; i < librarians.size(); i++) {
+                Librarian l = librarians.get(i);
+                writeUserStrings(out, l, l.getEmployeeId(), librarianStrings, i * 5);
+            }
+
+            // Book record lists, grouped per author and per publisher in record order
+            int[] authorListStart = new int[authors.size() + 1];
+            int[] publisherListStart = new int[publishers.size() + 1];
+            for (int i = 0; i < bookCount; i++) {
+                for (Author a : authorsOf(objects, records, source, i)) {
+                    authorListStart[authorIndex.get(a) + 1]++;
+                }
+                Publisher p = publisherOf(objects, records, source, i);
+                if(p != null) {
+                    publisherListStart[publisherIndex.get(p) + 1]++;
+                }
+            }
+            Arrays.parallelPrefix(authorListStart, Integer::sum);
+            Arrays.parallelPrefix(publisherListStart, Integer::sum);
+            int[] authorLists = new int[authorListStart[authors.size()]];
+            int[] publisherLists = new int[publisherListStart[publishers.size()]];
+            int[] authorFill = Arrays.copyOf(authorListStart, authors.size());
+            int[] publisherFill = Arrays.copyOf(publisherListStart, publishers.size());
+            for (int i = 0; i < bookCount; i++) {
+                for (Author a : authorsOf(objects, records, source, i)) {
+                    authorLists[authorFill[authorIndex.get(a)]++] = i;
+                }
+                Publisher p = publisherOf(objects, records, source, i);
+                if(p != null) {
+                    publisherLists[publisherFill[publisherIndex.get(p)]++] = i;
+                }
+            }
+            header[16] = position(out);
+            writeInts(out, authorLists);
+            int publisherListsOffset = position(out);
+            writeInts(out, publisherLists);
+
+            header[4] = authors.size();
+            header[5] = publishers.size();
+            header[6] = bookCount;
+            header[7] = members.size();
+            header[8] = librarians.size();
+
+            header[9] = position(out);
+            for (int i = 0; i < authors.size(); i++) {
+                out.writeInt(authorStrings[i * 2]);
+                out.writeInt(authorStrings[i * 2 + 1]);
+                out.writeInt(header[16] + authorListStart[i] * 4);
+                out.writeInt(authorListStart[i + 1] - authorListStart[i]);
+            }
+            header[10] = position(out);
+            for (int i = 0; i < publishers.size(); i++) {
+                out.writeInt(publisherStrings[i * 2]);
+                out.writeInt(publisherStrings[i * 2 + 1]);
+                out.writeInt(publisherListsOffset + publisherListStart[i] * 4);
+                out.writeInt(publisherListStart[i + 1] - publisherListStart[i]);
+            }
+
+            header[11] = position(out);
+            int linkStart = 0;
+            for (int i = 0; i < bookCount; i++) {
+                List<Author> bookAuthors = authorsOf(objects, records, source, i);
+                Publisher p = publisherOf(objects, records, source, i);
+                out.writeInt(bookStrings[i * 3]);
+                out.writeInt(bookStrings[i * 3 + 1]);
+                out.writeInt(bookStrings[i * 3 + 2]);
+                out.writeInt(p == null ? NO_ENTRY : publisherIndex.get(p));
+                out.writeInt(linkStart);
+                out.writeShort(bookAuthors.size());
+                out.writeShort(0);
+                linkStart += bookAuthors.size();
+            }
+
+            header[12] = position(out);
+            for (int i = 0; i < bookCount; i++) {
+                for (Author a : authorsOf(objects, records, source, i)) {
+                    out.writeInt(authorIndex.get(a));
+                }
+            }
+
+            header[13] = position(out);
+            Integer[] order = new Integer[bookCount];
+            for (int i = 0; i < bookCount; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing(i -> bookIds[i]));
+            for (Integer record : order) {
+                out.writeInt(record);
+            }
+
+            header[14] = position(out);
+            writeInts(out, memberStrings);
+            header[15] = position(out);
+            writeInts(out, librarianStrings);
+            position(out);
+        }
+
+        ByteBuffer headerBuffer = ByteBuffer.allocate(HEADER_SIZE);
+        for (int value : header) {
+            headerBuffer.putInt(value);
+        }
+        crc.update(headerBuffer.array());
+        headerBuffer.putInt(CHECKSUM_OFFSET, (int) crc.getValue());
+        headerBuffer.flip();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.write(headerBuffer, 0);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static List<Author> authorsOf(Book[] objects, int[] records, CatalogImage source, int i) {
+        return objects[i] != null ? objects[i].getAuthors() : source.authorsOf(records[i]);
+    }
+
+    private static Publisher publisherOf(Book[] objects, int[] records, CatalogImage source, int i) {
+        return objects[i] != null ? objects[i].getPublisher() : source.publisherOf(records[i]);
+    }
+
+    private static void writeUserStrings(DataOutputStream out, User user, String roleId, int[] refs, int at) throws IOException {
+        refs[at] = writeString(out, user.getUserId());
+        refs[at + 1] = writeString(out, user.getName());
+        refs[at + 2] = writeString(out, user.getEmail());
+        refs[at + 3] = writeString(out, user.getPhone());
+        refs[at + 4] = writeString(out, roleId);
+    }
+
+    private static int writeString(DataOutputStream out, String value) throws IOException {
+        if(value == null) {
+            return NO_ENTRY;
+        }
+        int offset = position(out);
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        return offset;
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    // DataOutputStream.size() saturates at Integer.MAX_VALUE, which is also the mapping limit
+    private static int position(DataOutputStream out) throws IOException {
+        int size = out.size();
+        if(size == Integer.MAX_VALUE) {
+            throw new IOException("Catalog too large for a single image");
+        }
+        return size;
+    }
+}
 
 // Main class with the menu-based console interface
 public class LibraryManagementSystem {
+    // Pointer to the current image generation (library.img.1, library.img.2, ...)
+    private static final Path CATALOG_IMAGE = Paths.get("library.img");
     private static Library library;
     private static Catalog catalog;
     private static Scanner scanner = new Scanner(System.in);
 
     public static void main(String[] args) {
-        // Setup library with some dummy data
-        library = new Library("City Library", "123 Library Street");
-        initializeDummyData();
-        catalog = new Catalog(library.getBooks());
+        // Load the catalog image from the last run, or set up the library with some dummy data
+        library = loadLibrary();
+        catalog = new Catalog(library);
 
         // Main application menu
         boolean exit = false;
         while(!exit) {
+            library.getReminderScheduler().advance();
             System.out.println("\nLibrary Management System");
             System.out.println("1. Member Login");
             System.out.println("2. Librarian Login");
@@ -520,6 +2119,7 @@ public class LibraryManagementSystem {
                     break;
                 case "3":
                     exit = true;
+                    saveLibrary();
                     System.out.println("Exiting system.");
                     break;
                 default:
@@ -528,17 +2128,34 @@ public class LibraryManagementSystem {
         }
     }
 
+    private static Library loadLibrary() {
+        if(Files.exists(CATALOG_IMAGE)) {
+            try {
+                Library loaded = CatalogImage.open(CATALOG_IMAGE);
+                System.out.println("Catalog image loaded: " + loaded.getBooks().size() + " books.");
+                return loaded;
+            } catch (IOException e) {
+                System.out.println("Could not load catalog image: " + e.getMessage());
+            }
+        }
+        library = new Library("City Library", "123 Library Street");
+        initializeDummyData();
+        return library;
+    }
+
+    private static void saveLibrary() {
+        try {
+            CatalogImage.save(library, CATALOG_IMAGE);
+        } catch (IOException e) {
+            System.out.println("Could not write catalog image: " + e.getMessage());
+        }
+    }
+
     // Simulate member login and menu options
     private static void memberMenu() {
         System.out.print("Enter Membership ID: ");
         String membershipId = scanner.nextLine();
-        Member member = null;
-        for (Member m : library.getMembers()) {
-            if (m.getMembershipId().equals(membershipId)) {
-                member = m;
-                break;
-            }
-        }
+        Member member = library.getMemberById(membershipId);
         if(member == null) {
             System.out.println("Member not found. Please register first.");
             return;
@@ -601,7 +2218,8 @@ public class LibraryManagementSystem {
             System.out.println("2. Remove Book");
             System.out.println("3. Manage Users");
             System.out.println("4. Calculate Fine for a Loan");
-            System.out.println("5. Logout");
+            System.out.println("5. Members Owing Fines");
+            System.out.println("6. Logout");
             System.out.print("Enter your choice: ");
             String choice = scanner.nextLine();
 
@@ -619,6 +2237,9 @@ public class LibraryManagementSystem {
                     calculateFine(librarian);
                     break;
                 case "5":
+                    membersOwing();
+                    break;
+                case "6":
                     logout = true;
                     librarian.logout();
                     break;
@@ -654,10 +2275,16 @@ public class LibraryManagementSystem {
 
     // Member action: Pay fine
     private static void payFine(Member member) {
-        System.out.println("Outstanding fine: $" + member.getFineAmount());
+        System.out.println("Outstanding fine: $" + FineLedger.format(member.getFineCents()));
         System.out.print("Enter amount to pay: ");
-        double amount = Double.parseDouble(scanner.nextLine());
-        member.payFine(amount);
+        long amountCents;
+        try {
+            amountCents = FineLedger.parseCents(scanner.nextLine());
+        } catch (NumberFormatException | ArithmeticException e) {
+            System.out.println("Invalid amount.");
+            return;
+        }
+        member.payFine(amountCents);
     }
 
     // Member action: Search for books
@@ -666,6 +2293,7 @@ public class LibraryManagementSystem {
         System.out.println("1. By Title");
         System.out.println("2. By Author");
         System.out.println("3. By ISBN");
+        System.out.println("4. By Publisher");
         System.out.print("Enter your choice: ");
         String choice = scanner.nextLine();
 
@@ -700,6 +2328,16 @@ public class LibraryManagementSystem {
                     System.out.println(book);
                 }
                 break;
+            case "4":
+                System.out.print("Enter publisher name: ");
+                String publisher = scanner.nextLine();
+                List<Book> byPublisher = catalog.searchByPublisher(publisher);
+                if(byPublisher.isEmpty()) {
+                    System.out.println("No books found.");
+                } else {
+                    byPublisher.forEach(System.out::println);
+                }
+                break;
             default:
                 System.out.println("Invalid choice.");
         }
@@ -714,20 +2352,27 @@ public class LibraryManagementSystem {
         System.out.print("Enter ISBN: ");
         String isbn = scanner.nextLine();
 
-        // For simplicity, we will create one author and one publisher per book entry.
+        // One author and one publisher per book entry; existing names reuse the registered instance.
+        ContributorRegistry contributors = library.getContributors();
         System.out.print("Enter Author Name: ");
         String authorName = scanner.nextLine();
-        System.out.print("Enter Author Bio: ");
-        String bio = scanner.nextLine();
-        Author author = new Author(authorName, bio);
+        Author author = contributors.getAuthor(authorName);
+        if(author == null) {
+            System.out.print("Enter Author Bio: ");
+            String bio = scanner.nextLine();
+            author = contributors.internAuthor(authorName, bio);
+        }
         List<Author> authors = new ArrayList<>();
         authors.add(author);
 
         System.out.print("Enter Publisher Name: ");
         String publisherName = scanner.nextLine();
-        System.out.print("Enter Publisher Address: ");
-        String publisherAddress = scanner.nextLine();
-        Publisher publisher = new Publisher(publisherName, publisherAddress);
+        Publisher publisher = contributors.getPublisher(publisherName);
+        if(publisher == null) {
+            System.out.print("Enter Publisher Address: ");
+            String publisherAddress = scanner.nextLine();
+            publisher = contributors.internPublisher(publisherName, publisherAddress);
+        }
 
         Book book = new Book(bookId, title, isbn, authors, publisher);
         librarian.addBook(library, book);
@@ -744,13 +2389,7 @@ public class LibraryManagementSystem {
     private static void calculateFine(Librarian librarian) {
         System.out.print("Enter Member ID for loan check: ");
         String membershipId = scanner.nextLine();
-        Member member = null;
-        for (Member m : library.getMembers()) {
-            if (m.getMembershipId().equals(membershipId)) {
-                member = m;
-                break;
-            }
-        }
+        Member member = library.getMemberById(membershipId);
         if(member == null) {
             System.out.println("Member not found.");
             return;
@@ -761,8 +2400,28 @@ public class LibraryManagementSystem {
         }
         System.out.println("Loans for " + member.getName() + ":");
         for (Loan loan : member.getLoans()) {
-            double fine = librarian.calculateFine(loan);
-            System.out.println("Loan ID: " + loan.loanId + " | Book: " + loan.getBook().getTitle() + " | Fine: $" + fine);
+            long fine = librarian.calculateFineCents(loan);
+            System.out.println("Loan ID: " + loan.loanId + " | Book: " + loan.getBook().getTitle() + " | Fine: $" + FineLedger.format(fine));
+        }
+    }
+
+    // Librarian action: List members whose outstanding fines exceed an amount
+    private static void membersOwing() {
+        System.out.print("Enter minimum amount owed: ");
+        long thresholdCents;
+        try {
+            thresholdCents = FineLedger.parseCents(scanner.nextLine());
+        } catch (NumberFormatException | ArithmeticException e) {
+            System.out.println("Invalid amount.");
+            return;
+        }
+        List<Member> owing = library.getMembersOwingOver(thresholdCents);
+        if(owing.isEmpty()) {
+            System.out.println("No members owe more than $" + FineLedger.format(thresholdCents) + ".");
+            return;
+        }
+        for (Member m : owing) {
+            System.out.println("Member ID: " + m.getMembershipId() + " | Name: " + m.getName() + " | Owes: $" + FineLedger.format(m.getFineCents()));
         }
     }
 